@@ -49,11 +49,12 @@ public class EmployeeCsvParser {
         List<Employee> employeeList = new ArrayList<>();
         String line;
         while ((line = fileReader.readLine()) != null) {
-            String[] parts = line.split(COMMA_DELIMITER);
-            if (indexLine++ != 0 && parts.length >= MIN_NUMBER_OF_COLUMNS) {
+            if (indexLine++ != 0) {
                 try {
-                    Employee e = createEmployeeFromFileEntry(parts);
-                    employeeList.add(e);
+                    Employee e = createEmployeeFromLine(line);
+                    if (e != null) {
+                        employeeList.add(e);
+                    }
                 } catch (InvalidDataException e) {
                     throw new InvalidDataException(e.getMessage() + IN_LINE + indexLine);
                 }
@@ -62,6 +63,18 @@ public class EmployeeCsvParser {
         return employeeList;
     }
 
+    /**
+     * Create an Employee object from a single line of the file, other than the header.
+     *
+     * @param line The line read from the file.
+     * @return An Employee object parsed from the line, or null if the line does not have enough columns.
+     * @throws InvalidDataException If the data format is invalid.
+     */
+    static Employee createEmployeeFromLine(String line) throws InvalidDataException {
+        String[] parts = line.split(COMMA_DELIMITER);
+        return parts.length >= MIN_NUMBER_OF_COLUMNS ? createEmployeeFromFileEntry(parts) : null;
+    }
+
     /**
      * Create an Employee object from a single entry read from the file.
      *
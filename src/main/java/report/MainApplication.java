@@ -1,14 +1,30 @@
 package report;
 
+import report.exception.InvalidDataException;
 import report.service.EmployeeReportService;
 import report.service.EmployeeReportServiceImpl;
+import report.service.PartitionedEmployeeReportServiceImpl;
+import report.validator.InputValidator;
 
 import static report.configuration.ParametersConfig.FILE_NAME;
 
 public class MainApplication {
 
+    /**
+     * @param args The path to the CSV file and, optionally, the number of worker processes for the partitioned report
+     */
     public static void main(String... args) {
-        EmployeeReportService reportService = new EmployeeReportServiceImpl();
+        EmployeeReportService reportService;
+        if (args != null && args.length > 1) {
+            try {
+                reportService = new PartitionedEmployeeReportServiceImpl(InputValidator.validateWorkerCount(args[1]));
+            } catch (InvalidDataException e) {
+                System.out.println("The report cannot be generated: " + e.getMessage() + " " + args[1]);
+                return;
+            }
+        } else {
+            reportService = new EmployeeReportServiceImpl();
+        }
         reportService.generateCompanyReport(args != null && args.length > 0 ? args[0] : FILE_NAME);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,212 @@
+package report;
+
+import report.exception.InvalidDataException;
+import report.model.Employee;
+import report.model.SubordinateSalaries;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Worker process of the partitioned report. It parses only the lines that start in its byte range of the file and
+ * writes to the standard output a binary record with the parent link and salary of each of these employees, followed
+ * by the partial subordinate salaries of each manager found in the range
+ */
+public class PartitionWorker {
+
+    public static final byte EMPLOYEE_RECORD = 'E';
+    public static final byte SALARIES_RECORD = 'S';
+    public static final byte INVALID_DATA_RECORD = 'X';
+    public static final byte READ_ERROR_RECORD = 'R';
+    public static final int DATA_ERROR_EXIT_CODE = 3;
+    public static final long NO_OFFSET = -1;
+
+    private PartitionWorker() {
+    }
+
+    /**
+     * When the file cannot be read, the worker ends its output with an INVALID_DATA_RECORD (holding the offset of the
+     * invalid line, or NO_OFFSET, and the message) or a READ_ERROR_RECORD, then exits with DATA_ERROR_EXIT_CODE
+     *
+     * @param args The path to the CSV file and the start (inclusive) and end (exclusive) offsets of the byte range
+     */
+    public static void main(String... args) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        try {
+            writePartition(args[0], Long.parseLong(args[1]), Long.parseLong(args[2]), out);
+        } catch (InvalidLineException e) {
+            exitWithError(out, INVALID_DATA_RECORD, e.offset, e.getMessage());
+        } catch (InvalidDataException e) {
+            exitWithError(out, INVALID_DATA_RECORD, NO_OFFSET, e.getMessage());
+        } catch (IOException e) {
+            exitWithError(out, READ_ERROR_RECORD, NO_OFFSET, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the employees of the lines starting in the byte range and the partial subordinate salaries of their managers
+     * A line that starts in the range is read to its end, even past the end of the range
+     *
+     * @param filePath The path to the CSV file
+     * @param start    The offset where the range starts
+     * @param end      The offset where the range ends
+     * @param out      The stream the records are written to
+     * @throws IOException If an I/O error occurs while reading the file.
+     * @throws InvalidLineException If the data format of a line is invalid.
+     */
+    static void writePartition(String filePath, long start, long end, DataOutputStream out) throws IOException {
+        Map<Integer, SubordinateSalaries> managerToSubordinateSalaries = new HashMap<>();
+
+        try (LineReader reader = new LineReader(new FileInputStream(filePath))) {
+            // the line that is cut by the start of the range belongs to the previous range
+            long position = start == 0 ? 0 : start - 1;
+            reader.skip(position);
+            if (start > 0) {
+                position += reader.readLine();
+            }
+
+            while (position < end) {
+                long lineStart = position;
+                int length = reader.readLine();
+                if (length < 0) {
+                    break;
+                }
+                position += length;
+
+                // the first line of the file is the header
+                Employee employee = lineStart == 0 ? null : parseLine(reader.line(), lineStart);
+                if (employee != null) {
+                    out.writeByte(EMPLOYEE_RECORD);
+                    out.writeInt(employee.id());
+                    out.writeLong(employee.salary());
+                    out.writeBoolean(employee.managerId() != null);
+                    if (employee.managerId() != null) {
+                        out.writeInt(employee.managerId());
+                        managerToSubordinateSalaries.merge(employee.managerId(), new SubordinateSalaries(employee.salary(), 1),
+                                SubordinateSalaries::merge);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, SubordinateSalaries> entry : managerToSubordinateSalaries.entrySet()) {
+            out.writeByte(SALARIES_RECORD);
+            out.writeInt(entry.getKey());
+            out.writeLong(entry.getValue().sum());
+            out.writeInt(entry.getValue().count());
+        }
+        out.flush();
+    }
+
+    private static Employee parseLine(String line, long lineStart) {
+        try {
+            return EmployeeCsvParser.createEmployeeFromLine(line);
+        } catch (InvalidDataException e) {
+            throw new InvalidLineException(e.getMessage(), lineStart);
+        }
+    }
+
+    private static void exitWithError(DataOutputStream out, byte record, long offset, String message) throws IOException {
+        out.writeByte(record);
+        out.writeLong(offset);
+        out.writeUTF(String.valueOf(message));
+        out.flush();
+        System.exit(DATA_ERROR_EXIT_CODE);
+    }
+
+    /**
+     * Invalid data found in a line, together with the offset where the line starts
+     */
+    static class InvalidLineException extends InvalidDataException {
+        private final long offset;
+
+        InvalidLineException(String message, long offset) {
+            super(message);
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Read lines from a stream counting the bytes they take, so that the worker knows where each line starts
+     * Like BufferedReader, a line ends at a line feed, a carriage return, or a carriage return followed by a line feed
+     */
+    public static class LineReader implements AutoCloseable {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private int position;
+        private int limit;
+
+        public LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Read the next line, which is then available through line()
+         *
+         * @return The number of bytes consumed, terminator included, or -1 if the end of the stream was reached
+         * @throws IOException If an I/O error occurs while reading the stream.
+         */
+        public int readLine() throws IOException {
+            line.reset();
+            int consumed = 0;
+            int c;
+            while ((c = read()) != -1) {
+                consumed++;
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') {
+                    if (peek() == '\n') {
+                        read();
+                        consumed++;
+                    }
+                    break;
+                }
+                line.write(c);
+            }
+            return consumed == 0 ? -1 : consumed;
+        }
+
+        public String line() {
+            return line.toString(Charset.defaultCharset());
+        }
+
+        public void skip(long bytes) throws IOException {
+            in.skipNBytes(bytes);
+        }
+
+        private int read() throws IOException {
+            return fill() ? buffer[position++] & 0xFF : -1;
+        }
+
+        private int peek() throws IOException {
+            return fill() ? buffer[position] & 0xFF : -1;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) {
+                return true;
+            }
+            limit = in.read(buffer);
+            position = 0;
+            return limit > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -5,9 +5,12 @@ public class ParametersConfig {
     private ParametersConfig() {}
 
     public static final String FILE_NAME = "src/main/resources/data.csv";
-    public static final double LESS_THAN_MULTIPLIER = 1.2;
-    public static final double MORE_THAN_MULTIPLIER = 1.5;
+    public static final long LESS_THAN_MULTIPLIER_PERCENT = 120;
+    public static final long MORE_THAN_MULTIPLIER_PERCENT = 150;
+    public static final long PERCENT = 100;
+    public static final long CENTS_PER_UNIT = 100;
     public static final Integer MAX_DEPTH_TO_CEO = 4;
     public static final String COMMA_DELIMITER = ",";
     public static final Integer MIN_NUMBER_OF_COLUMNS = 4;
+    public static final int MAX_WORKER_COUNT = 64;
 }
@@ -0,0 +1,7 @@
+package report.exception;
+
+public class PartitionWorkerException extends RuntimeException {
+    public PartitionWorkerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package report.model;
+
+/**
+ * Compact form of an employee holding only what the report needs: the salary (in cents) and the parent link
+ */
+public record EmployeeLink(int id, long salary, Integer managerId) {
+
+    public static EmployeeLink of(Employee employee) {
+        return new EmployeeLink(employee.id(), employee.salary(), employee.managerId());
+    }
+}
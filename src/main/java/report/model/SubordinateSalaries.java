@@ -0,0 +1,19 @@
+package report.model;
+
+import report.exception.InvalidDataException;
+
+/**
+ * Sum (in cents) and count of the salaries of the direct subordinates of a manager
+ */
+public record SubordinateSalaries(long sum, int count) {
+
+    public static final String SALARY_TOO_LARGE = "Salary amounts are too large to compare";
+
+    public SubordinateSalaries merge(SubordinateSalaries other) {
+        try {
+            return new SubordinateSalaries(Math.addExact(sum, other.sum), Math.addExact(count, other.count));
+        } catch (ArithmeticException e) {
+            throw new InvalidDataException(SALARY_TOO_LARGE);
+        }
+    }
+}
@@ -2,145 +2,161 @@ package report.service;
 
 import report.EmployeeCsvParser;
 import report.exception.InvalidDataException;
-import report.model.Employee;
+import report.model.EmployeeLink;
 import report.model.Pair;
+import report.model.SubordinateSalaries;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
 
-import static report.configuration.ParametersConfig.LESS_THAN_MULTIPLIER;
-import static report.configuration.ParametersConfig.MAX_DEPTH_TO_CEO;
-import static report.configuration.ParametersConfig.MORE_THAN_MULTIPLIER;
+import static report.configuration.ParametersConfig.LESS_THAN_MULTIPLIER_PERCENT;
+import static report.configuration.ParametersConfig.MORE_THAN_MULTIPLIER_PERCENT;
+import static report.configuration.ParametersConfig.PERCENT;
+import static report.model.SubordinateSalaries.SALARY_TOO_LARGE;
 
 public class EmployeeReportServiceImpl implements EmployeeReportService {
 
-    private static int ceoId;
     private final PrintReportService printReportService = new PrintReportServiceImpl();
 
     @Override
     public void generateCompanyReport(String filePath) {
-        List<Employee> employeeList;
+        List<EmployeeLink> employeeLinks;
+        Map<Integer, SubordinateSalaries> managerToSubordinateSalaries;
         try {
             // Load employee data from CSV file
-            employeeList = EmployeeCsvParser.transformIntoEmployee(filePath);
+            employeeLinks = EmployeeCsvParser.transformIntoEmployee(filePath).stream().map(EmployeeLink::of).toList();
+
+            // Calculate the salary sum and count of the direct subordinates of each manager
+            managerToSubordinateSalaries = calculateSubordinateSalaries(employeeLinks);
         } catch (IOException | InvalidDataException e) {
             System.out.println("The file cannot be read: " + e.getMessage());
             return;
         }
 
-        // Build the map containing managers as keys and their employees as values
-        Map<Integer, List<Employee>> managerToEmployees = buildManagerToEmployeesMap(employeeList);
-
-        // Calculate average salary for the direct subordinates of each manager
-        Map<Integer, Double> managerToAverageSalary = calculateAverageSalaries(managerToEmployees);
+        printCompanyReport(employeeLinks, managerToSubordinateSalaries);
+    }
 
-        // Get the managers that are earning less than 20% more than average of direct subordinates
-        List<Pair<Double>> managersEarningLess = findManagersByFilter(managerToEmployees, employeeList,
-                employee -> employee.salary() < managerToAverageSalary.get(employee.id()) * LESS_THAN_MULTIPLIER,
-                employee -> new Pair<>(employee.id(),
-                        formatDoubleWithTwoDecimals(managerToAverageSalary.get(employee.id()) * LESS_THAN_MULTIPLIER - employee.salary())));
+    /**
+     * Compute and print the findings of the report from the parent links of the employees and the salaries of the
+     * direct subordinates of each manager
+     *
+     * @param employeeLinks                The parent links and salaries of the employees, in file order
+     * @param managerToSubordinateSalaries The map containing the managerIds as keys and the salaries of their direct subordinates as values
+     */
+    void printCompanyReport(List<EmployeeLink> employeeLinks, Map<Integer, SubordinateSalaries> managerToSubordinateSalaries) {
+        List<Pair<Long>> managersEarningLess;
+        List<Pair<Long>> managersEarningMore;
+        List<Pair<Integer>> employeesWithLongerLine;
+        try {
+            // Get the managers that are earning less than 20% more than average of direct subordinates
+            managersEarningLess = findManagersEarningLess(employeeLinks, managerToSubordinateSalaries);
 
-        // Get the managers that are earning more than 50% more than average of direct subordinates
-        List<Pair<Double>> managersEarningMore = findManagersByFilter(managerToEmployees, employeeList,
-                employee -> employee.salary() > managerToAverageSalary.get(employee.id()) * MORE_THAN_MULTIPLIER,
-                employee -> new Pair<>(employee.id(),
-                        formatDoubleWithTwoDecimals(employee.salary() - managerToAverageSalary.get(employee.id()) * MORE_THAN_MULTIPLIER)));
+            // Get the managers that are earning more than 50% more than average of direct subordinates
+            managersEarningMore = findManagersEarningMore(employeeLinks, managerToSubordinateSalaries);
 
-        // Get the employees that have more than 4 managers between them and the CEO
-        List<Pair<Integer>> employeesWithLongerLine = findEmployeesWithLongerReportingLine(managerToEmployees, employeeList);
+            // Get the employees that have more than 4 managers between them and the CEO
+            employeesWithLongerLine = ReportingLines.findEmployeesWithLongerReportingLine(employeeLinks);
+        } catch (InvalidDataException e) {
+            System.out.println("The file cannot be read: " + e.getMessage());
+            return;
+        }
 
         // Print the expected results
-        printReportService.printResults(managersEarningLess, "earns less than expected by");
-        printReportService.printResults(managersEarningMore, "earns more than expected by");
+        printReportService.printSalaryResults(managersEarningLess, "earns less than expected by");
+        printReportService.printSalaryResults(managersEarningMore, "earns more than expected by");
         printReportService.printResults(employeesWithLongerLine, "has a reporting line longer than expected by");
 
     }
 
     /**
-     * Create the map containing the managerIds as keys and the list of direct subordinates for each manager as values
+     * Calculate the sum (in cents) and count of the salaries of the direct subordinates for each manager
      *
-     * @param employeeList The list of employees
+     * @param employeeLinks The parent links and salaries of the employees
      */
-    private static Map<Integer, List<Employee>> buildManagerToEmployeesMap(List<Employee> employeeList) {
-        return employeeList.stream().filter(employee -> employee.managerId() != null)
-                .collect(Collectors.groupingBy(Employee::managerId));
+    private static Map<Integer, SubordinateSalaries> calculateSubordinateSalaries(List<EmployeeLink> employeeLinks) {
+        Map<Integer, SubordinateSalaries> managerToSubordinateSalaries = new HashMap<>();
+        employeeLinks.stream().filter(link -> link.managerId() != null).forEach(link -> managerToSubordinateSalaries.merge(
+                link.managerId(), new SubordinateSalaries(link.salary(), 1), SubordinateSalaries::merge));
+        return managerToSubordinateSalaries;
     }
 
     /**
-     * Calculate the average salary of the direct subordinates for each manager
+     * Get the managers that are earning less than LESS_THAN_MULTIPLIER_PERCENT of the average salary of their direct subordinates
+     * and by how much (in cents). The comparison is done on integers: salary * count * 100 < sum * percent
      *
-     * @param managerToEmployees The map containing the managerIds as keys and the list of direct subordinates for each manager as values
+     * @param employeeLinks                The parent links and salaries of the employees
+     * @param managerToSubordinateSalaries The map containing the managerIds as keys and the salaries of their direct subordinates as values
+     * @return A list containing Pair objects that hold each managerId together with the salary difference in cents
      */
-    private static Map<Integer, Double> calculateAverageSalaries(Map<Integer, List<Employee>> managerToEmployees) {
-        Map<Integer, Double> managerToAverageSalary = new HashMap<>();
-        managerToEmployees.forEach((key, value) -> managerToAverageSalary.put(key,
-                formatDoubleWithTwoDecimals(value.stream().mapToDouble(Employee::salary).average().orElse(0))));
-        return managerToAverageSalary;
+    private static List<Pair<Long>> findManagersEarningLess(List<EmployeeLink> employeeLinks,
+                                                            Map<Integer, SubordinateSalaries> managerToSubordinateSalaries) {
+        return findManagersByDifference(employeeLinks, managerToSubordinateSalaries,
+                (employee, salaries) -> Math.subtractExact(Math.multiplyExact(salaries.sum(), LESS_THAN_MULTIPLIER_PERCENT),
+                        Math.multiplyExact(employee.salary(), salaries.count() * PERCENT)));
     }
 
     /**
-     * Filter the list of employees based on the provided filter and maps each employee to a Pair<Double> object using the given mapper
-     * Only employees that are found in the managerToEmployee map are taken into consideration
+     * Get the managers that are earning more than MORE_THAN_MULTIPLIER_PERCENT of the average salary of their direct subordinates
+     * and by how much (in cents). The comparison is done on integers: salary * count * 100 > sum * percent
      *
-     * @param managerToEmployees The map containing the managerIds as keys and the list of direct subordinates for each manager as values
-     * @param employeeList       The list of employees that should be filtered
-     * @param filter             The predicate used to filter the employees
-     * @param mapper             The function used to map each filtered employee
-     * @return A list containing Pair objects that hold each managerId together with the salary difference
+     * @param employeeLinks                The parent links and salaries of the employees
+     * @param managerToSubordinateSalaries The map containing the managerIds as keys and the salaries of their direct subordinates as values
+     * @return A list containing Pair objects that hold each managerId together with the salary difference in cents
      */
-    private static List<Pair<Double>> findManagersByFilter(Map<Integer, List<Employee>> managerToEmployees,
-                                                           List<Employee> employeeList, Predicate<Employee> filter,
-                                                           Function<Employee, Pair<Double>> mapper) {
-        return employeeList.stream()
-                .filter(employee -> managerToEmployees.containsKey(employee.id()) && filter.test(employee))
-                .map(mapper)
-                .toList();
+    private static List<Pair<Long>> findManagersEarningMore(List<EmployeeLink> employeeLinks,
+                                                            Map<Integer, SubordinateSalaries> managerToSubordinateSalaries) {
+        return findManagersByDifference(employeeLinks, managerToSubordinateSalaries,
+                (employee, salaries) -> Math.subtractExact(Math.multiplyExact(employee.salary(), salaries.count() * PERCENT),
+                        Math.multiplyExact(salaries.sum(), MORE_THAN_MULTIPLIER_PERCENT)));
     }
 
     /**
-     * Get the list of employees that have more than 4 managers between them and the CEO and by how much
+     * Keep the managers for which the scaled difference is positive and map each of them to a Pair<Long> object
+     * Only employees that are found in the managerToSubordinateSalaries map are taken into consideration
      *
-     * @param managerToEmployees The map containing the managerIds as keys and the list of direct subordinates for each manager as values
-     * @param employeeList       The list of employees
-     * @return the list of employees that have more than 4 managers between them and the CEO and by how much
+     * @param employeeLinks                The parent links and salaries of the employees that should be filtered
+     * @param managerToSubordinateSalaries The map containing the managerIds as keys and the salaries of their direct subordinates as values
+     * @param scaledDifference             The difference in cents multiplied by count * 100, so that it stays an exact integer
+     * @return A list containing Pair objects that hold each managerId together with the salary difference in cents
+     * @throws InvalidDataException If the salaries are too large for the scaled difference to fit in a long.
      */
-    private static List<Pair<Integer>> findEmployeesWithLongerReportingLine(Map<Integer, List<Employee>> managerToEmployees,
-                                                                            List<Employee> employeeList) {
-        return employeeList.stream()
-                .filter(employee -> calculateDepthToCeo(managerToEmployees, employee.id()) > MAX_DEPTH_TO_CEO)
-                .map(employee -> new Pair<>(employee.id(), calculateDepthToCeo(managerToEmployees, employee.id()) - MAX_DEPTH_TO_CEO))
-                .toList();
+    private static List<Pair<Long>> findManagersByDifference(List<EmployeeLink> employeeLinks,
+                                                             Map<Integer, SubordinateSalaries> managerToSubordinateSalaries,
+                                                             ToLongBiFunction<EmployeeLink, SubordinateSalaries> scaledDifference) {
+        List<Pair<Long>> managers = new ArrayList<>();
+        for (EmployeeLink employee : employeeLinks) {
+            SubordinateSalaries salaries = managerToSubordinateSalaries.get(employee.id());
+            if (salaries != null) {
+                long difference = exact(() -> scaledDifference.applyAsLong(employee, salaries));
+                if (difference > 0) {
+                    managers.add(new Pair<>(employee.id(), roundHalfUp(difference, salaries.count() * PERCENT)));
+                }
+            }
+        }
+        return managers;
     }
 
     /**
-     * Calculate how many managers does an employee have between them and the CEO
-     *
-     * @param managerToEmployees The map containing the managerIds as keys and the list of direct subordinates for each manager as values
-     * @param employeeId         The id of the employee
-     * @return The number of managers that an employee have between them and the CEO
+     * Divide two positive numbers rounding half up, without scaling the dividend so that it cannot overflow
      */
-    private static int calculateDepthToCeo(Map<Integer, List<Employee>> managerToEmployees, int employeeId) {
-
-        Integer managerId = managerToEmployees.entrySet().stream()
-                .filter(entry -> entry.getValue().stream().map(Employee::id).toList().contains(employeeId))
-                .map(Map.Entry::getKey)
-                .findFirst()
-                .orElseGet(() -> {
-                    ceoId = employeeId;
-                    return null;
-                });
-
-        // if the employee is the CEO, or the manager is the CEO, skip increasing depth
-        return employeeId == ceoId || Objects.equals(managerId, ceoId) ? 0 : calculateDepthToCeo(managerToEmployees, managerId) + 1;
+    private static long roundHalfUp(long dividend, long divisor) {
+        long remainder = dividend % divisor;
+        return dividend / divisor + (remainder >= divisor - remainder ? 1 : 0);
     }
 
-    private static Double formatDoubleWithTwoDecimals(Double value) {
-        return Math.round(value * 100d) / 100d;
+    /**
+     * Run an exact long computation, reporting an overflow as invalid data
+     */
+    private static long exact(LongSupplier computation) {
+        try {
+            return computation.getAsLong();
+        } catch (ArithmeticException e) {
+            throw new InvalidDataException(SALARY_TOO_LARGE);
+        }
     }
 }
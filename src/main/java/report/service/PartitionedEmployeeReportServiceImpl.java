@@ -0,0 +1,212 @@
+package report.service;
+
+import report.PartitionWorker;
+import report.exception.InvalidDataException;
+import report.exception.PartitionWorkerException;
+import report.model.EmployeeLink;
+import report.model.SubordinateSalaries;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static report.EmployeeCsvParser.IN_LINE;
+import static report.PartitionWorker.DATA_ERROR_EXIT_CODE;
+import static report.PartitionWorker.EMPLOYEE_RECORD;
+import static report.PartitionWorker.INVALID_DATA_RECORD;
+import static report.PartitionWorker.NO_OFFSET;
+import static report.PartitionWorker.READ_ERROR_RECORD;
+import static report.PartitionWorker.SALARIES_RECORD;
+
+/**
+ * Coordinator of the partitioned report. The file is split in byte ranges across worker processes, each of them
+ * running in a separate local JVM and parsing only its own lines. The parent links and partial subordinate salaries
+ * of the workers are merged here, and the findings are computed the same way as in the single process report
+ * <p>
+ * Only the parsing is spread over the workers: the merge still reads one compact record per employee and resolves
+ * the findings over all of them in this JVM, so the coordinator's share of the work remains O(N) in a single process
+ */
+public class PartitionedEmployeeReportServiceImpl implements EmployeeReportService {
+
+    private final int workerCount;
+    private final EmployeeReportServiceImpl reportService = new EmployeeReportServiceImpl();
+
+    /**
+     * @param workerCount The number of workers, as validated by InputValidator.validateWorkerCount
+     */
+    public PartitionedEmployeeReportServiceImpl(int workerCount) {
+        this.workerCount = workerCount;
+    }
+
+    @Override
+    public void generateCompanyReport(String filePath) {
+        // Parent links in file order and salaries of the direct subordinates of each manager
+        List<EmployeeLink> employeeLinks = new ArrayList<>();
+        Map<Integer, SubordinateSalaries> managerToSubordinateSalaries = new HashMap<>();
+        try {
+            // Compute the partitions in the workers and merge their partial results, in file order
+            List<Path> outputs = runWorkers(filePath);
+            try {
+                for (Path output : outputs) {
+                    readWorkerOutput(filePath, output, employeeLinks, managerToSubordinateSalaries);
+                }
+            } finally {
+                deleteAll(outputs);
+            }
+        } catch (IOException | InvalidDataException e) {
+            System.out.println("The file cannot be read: " + e.getMessage());
+            return;
+        } catch (PartitionWorkerException e) {
+            System.out.println("The partitioned report failed: " + e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("The partitioned report was interrupted");
+            return;
+        }
+
+        reportService.printCompanyReport(employeeLinks, managerToSubordinateSalaries);
+    }
+
+    /**
+     * Start one local JVM per non-empty byte range of the file, wait for all of them and return the files holding
+     * their outputs. The standard error of the workers is inherited, so that JVM messages are not mixed with the records
+     *
+     * @param filePath The path to the CSV file
+     * @return The output files of the workers, in file order
+     * @throws IOException If the file cannot be read by a worker or by the coordinator.
+     * @throws InvalidDataException If a worker found invalid data.
+     * @throws PartitionWorkerException If a worker failed for any other reason.
+     * @throws InterruptedException If the coordinator is interrupted while waiting for the workers.
+     */
+    private List<Path> runWorkers(String filePath) throws IOException, InterruptedException {
+        long fileSize;
+        try (FileInputStream in = new FileInputStream(filePath)) {
+            fileSize = in.getChannel().size();
+        }
+        // a range needs at least one byte, otherwise the worker has nothing to read
+        int partitions = (int) Math.max(1, Math.min(workerCount, fileSize));
+
+        String javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processes = new ArrayList<>();
+        List<Path> outputs = new ArrayList<>();
+        boolean completed = false;
+        try {
+            for (int partition = 0; partition < partitions; partition++) {
+                Path output = Files.createTempFile("report-partition-" + partition, ".out");
+                outputs.add(output);
+                processes.add(new ProcessBuilder(javaExecutable, "-cp", System.getProperty("java.class.path"),
+                        PartitionWorker.class.getName(), filePath,
+                        String.valueOf(fileSize * partition / partitions), String.valueOf(fileSize * (partition + 1) / partitions))
+                        .redirectOutput(output.toFile())
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+            }
+
+            List<Integer> exitCodes = new ArrayList<>();
+            for (Process process : processes) {
+                exitCodes.add(process.waitFor());
+            }
+            for (int partition = 0; partition < partitions; partition++) {
+                int exitCode = exitCodes.get(partition);
+                if (exitCode != 0 && exitCode != DATA_ERROR_EXIT_CODE) {
+                    throw new PartitionWorkerException("worker " + partition + " exited with code " + exitCode);
+                }
+            }
+            // the ranges are in file order, so the first worker reporting an error holds the first invalid line
+            int failedPartition = exitCodes.indexOf(DATA_ERROR_EXIT_CODE);
+            if (failedPartition >= 0) {
+                readWorkerOutput(filePath, outputs.get(failedPartition), new ArrayList<>(), new HashMap<>());
+                throw new PartitionWorkerException("worker " + failedPartition + " exited with code "
+                        + DATA_ERROR_EXIT_CODE + " without reporting an error");
+            }
+            completed = true;
+        } finally {
+            processes.forEach(Process::destroy);
+            if (!completed) {
+                deleteAll(outputs);
+            }
+        }
+        return outputs;
+    }
+
+    /**
+     * Read the records written by a worker and merge them into the results of the previous workers
+     *
+     * @param filePath                     The path to the CSV file
+     * @param output                       The file holding the output of the worker
+     * @param employeeLinks                The parent links read so far, in file order
+     * @param managerToSubordinateSalaries The salaries of the direct subordinates merged so far, by managerId
+     * @throws IOException If the worker could not read the file, or its output cannot be read.
+     * @throws InvalidDataException If the worker found invalid data, with the line where it was found if known.
+     */
+    private static void readWorkerOutput(String filePath, Path output, List<EmployeeLink> employeeLinks,
+                                         Map<Integer, SubordinateSalaries> managerToSubordinateSalaries) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(output)))) {
+            int record;
+            while ((record = in.read()) != -1) {
+                if (record == EMPLOYEE_RECORD) {
+                    int id = in.readInt();
+                    long salary = in.readLong();
+                    employeeLinks.add(new EmployeeLink(id, salary, in.readBoolean() ? in.readInt() : null));
+                } else if (record == SALARIES_RECORD) {
+                    int managerId = in.readInt();
+                    managerToSubordinateSalaries.merge(managerId, new SubordinateSalaries(in.readLong(), in.readInt()),
+                            SubordinateSalaries::merge);
+                } else if (record == INVALID_DATA_RECORD) {
+                    long offset = in.readLong();
+                    String message = in.readUTF();
+                    throw new InvalidDataException(offset == NO_OFFSET ? message : message + IN_LINE + lineNumberAt(filePath, offset));
+                } else if (record == READ_ERROR_RECORD) {
+                    in.readLong();
+                    throw new IOException(in.readUTF());
+                } else {
+                    throw new PartitionWorkerException("unexpected record in the output of a worker");
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of the line starting at the given offset, counting from 1 like the single process report
+     *
+     * @param filePath The path to the CSV file
+     * @param offset   The offset where the line starts
+     * @return The number of the line
+     * @throws IOException If the file cannot be read.
+     */
+    private static long lineNumberAt(String filePath, long offset) throws IOException {
+        long lineNumber = 1;
+        try (PartitionWorker.LineReader reader = new PartitionWorker.LineReader(new FileInputStream(filePath))) {
+            long position = 0;
+            int length;
+            while (position < offset && (length = reader.readLine()) >= 0) {
+                position += length;
+                lineNumber++;
+            }
+        }
+        return lineNumber;
+    }
+
+    /**
+     * Delete temporary files, leaving to the JVM exit those that cannot be deleted so that a cleanup failure never
+     * replaces the error being reported
+     */
+    private static void deleteAll(List<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -6,4 +6,6 @@ import java.util.List;
 
 public interface PrintReportService {
     <T> void printResults(List<Pair<T>> pairs, String message);
+
+    void printSalaryResults(List<Pair<Long>> pairs, String message);
 }
@@ -4,10 +4,29 @@ import report.model.Pair;
 
 import java.util.List;
 
+import static report.configuration.ParametersConfig.CENTS_PER_UNIT;
+
 public class PrintReportServiceImpl implements PrintReportService {
 
     public <T> void printResults(List<Pair<T>> pairs, String message) {
         pairs.forEach(pair ->
                 System.out.println("Employee with id=" + pair.id() + " " + message + " " + pair.diff()));
     }
+
+    public void printSalaryResults(List<Pair<Long>> pairs, String message) {
+        printResults(pairs.stream().map(pair -> new Pair<>(pair.id(), formatCents(pair.diff()))).toList(), message);
+    }
+
+    /**
+     * Format an amount of cents with the decimals that are needed, keeping at least one (e.g. 15000.0, 15000.5, 15000.25)
+     *
+     * @param cents The amount in cents
+     * @return The formatted amount
+     */
+    private static String formatCents(long cents) {
+        long units = Math.abs(cents) / CENTS_PER_UNIT;
+        long remainder = Math.abs(cents) % CENTS_PER_UNIT;
+        String decimals = remainder % 10 == 0 ? String.valueOf(remainder / 10) : String.format("%02d", remainder);
+        return (cents < 0 ? "-" : "") + units + "." + decimals;
+    }
 }
@@ -0,0 +1,83 @@
+package report.service;
+
+import report.exception.InvalidDataException;
+import report.model.EmployeeLink;
+import report.model.Pair;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static report.configuration.ParametersConfig.MAX_DEPTH_TO_CEO;
+
+/**
+ * Resolve the reporting lines of the employees from their parent links, shared by the single process and the
+ * partitioned report so that both modes compute the same depths
+ */
+public class ReportingLines {
+
+    public static final String CYCLIC_REPORTING_LINE = "Cyclic reporting line for employee with id=";
+
+    private ReportingLines() {
+    }
+
+    /**
+     * Get the list of employees that have more than 4 managers between them and the CEO and by how much
+     *
+     * @param employeeLinks The parent links of all the employees, in file order
+     * @return the list of employees that have more than 4 managers between them and the CEO and by how much
+     * @throws InvalidDataException If a reporting line does not end at the CEO because of a cycle.
+     */
+    public static List<Pair<Integer>> findEmployeesWithLongerReportingLine(List<EmployeeLink> employeeLinks) {
+        Map<Integer, Integer> employeeToManager = new HashMap<>();
+        employeeLinks.forEach(link -> employeeToManager.put(link.id(), link.managerId()));
+
+        Map<Integer, Integer> employeeToManagersAbove = new HashMap<>();
+        List<Pair<Integer>> employeesWithLongerLine = new ArrayList<>();
+        for (EmployeeLink link : employeeLinks) {
+            // the CEO and its direct subordinates have no manager between them and the CEO
+            int depthToCeo = Math.max(0, countManagersAbove(link.id(), employeeToManager, employeeToManagersAbove) - 1);
+            if (depthToCeo > MAX_DEPTH_TO_CEO) {
+                employeesWithLongerLine.add(new Pair<>(link.id(), depthToCeo - MAX_DEPTH_TO_CEO));
+            }
+        }
+        return employeesWithLongerLine;
+    }
+
+    /**
+     * Count the managers above an employee by following the parent links up to the CEO, reusing the counts already
+     * resolved for the managers met on the way
+     *
+     * @param employeeId              The id of the employee
+     * @param employeeToManager       The parent links of all the employees
+     * @param employeeToManagersAbove The counts resolved so far
+     * @return The number of managers above the employee
+     */
+    private static int countManagersAbove(int employeeId, Map<Integer, Integer> employeeToManager,
+                                          Map<Integer, Integer> employeeToManagersAbove) {
+        Deque<Integer> reportingLine = new ArrayDeque<>();
+        Integer current = employeeId;
+        while (current != null && !employeeToManagersAbove.containsKey(current) && employeeToManager.containsKey(current)) {
+            if (reportingLine.size() > employeeToManager.size()) {
+                throw new InvalidDataException(CYCLIC_REPORTING_LINE + employeeId);
+            }
+            reportingLine.push(current);
+            current = employeeToManager.get(current);
+        }
+
+        // a manager that is not found in the file ends the line like the CEO does
+        int managersAbove;
+        if (current == null) {
+            managersAbove = -1;
+        } else {
+            managersAbove = employeeToManagersAbove.getOrDefault(current, 0);
+        }
+        while (!reportingLine.isEmpty()) {
+            employeeToManagersAbove.put(reportingLine.pop(), ++managersAbove);
+        }
+        return employeeToManagersAbove.get(employeeId);
+    }
+}
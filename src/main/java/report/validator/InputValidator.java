@@ -2,11 +2,16 @@ package report.validator;
 
 import report.exception.InvalidDataException;
 
+import static report.configuration.ParametersConfig.CENTS_PER_UNIT;
+import static report.configuration.ParametersConfig.MAX_WORKER_COUNT;
+
 public class InputValidator {
 
     public static final String INVALID_MANAGER_ID_FORMAT = "Invalid manager id format";
     public static final String INVALID_SALARY_FORMAT = "Invalid salary format";
     public static final String INVALID_ID_FORMAT = "Invalid id format";
+    public static final String INVALID_WORKER_COUNT = "Invalid number of workers";
+    private static final char DECIMAL_SEPARATOR = '.';
 
     private InputValidator() {
     }
@@ -21,14 +26,55 @@ public class InputValidator {
         return intValue;
     }
 
-    public static double validateSalary(String value) {
-        double doubleValue;
+    /**
+     * Parse a salary directly from its digits into minor units (cents), without going through floating point
+     * The salary may be signed, and decimals past the cent are rounded half up (away from zero)
+     *
+     * @param value The salary as read from the file, in plain decimal notation
+     * @return The salary in cents
+     */
+    public static long validateSalary(String value) {
+        String trimmed = value.trim();
+        boolean negative = trimmed.startsWith("-");
+        int integerStart = negative || trimmed.startsWith("+") ? 1 : 0;
+        int separatorIndex = trimmed.indexOf(DECIMAL_SEPARATOR);
+        int integerEnd = separatorIndex < 0 ? trimmed.length() : separatorIndex;
+        // at least one digit, before or after the separator
+        if (trimmed.length() - integerStart - (separatorIndex < 0 ? 0 : 1) == 0) {
+            throw new InvalidDataException(INVALID_SALARY_FORMAT);
+        }
+
+        long cents = 0;
         try {
-            doubleValue = Double.parseDouble(value.trim());
-        } catch (NumberFormatException e) {
+            for (int i = integerStart; i < integerEnd; i++) {
+                cents = Math.addExact(Math.multiplyExact(cents, 10), digitAt(trimmed, i));
+            }
+            cents = Math.multiplyExact(cents, CENTS_PER_UNIT);
+
+            // each decimal is worth a tenth of the previous one, down to one cent; the first one past the cent rounds
+            long scale = CENTS_PER_UNIT;
+            for (int i = integerEnd + 1; i < trimmed.length(); i++) {
+                int digit = digitAt(trimmed, i);
+                if (scale > 1) {
+                    scale /= 10;
+                    cents = Math.addExact(cents, digit * scale);
+                } else if (scale == 1) {
+                    scale = 0;
+                    cents = Math.addExact(cents, digit >= 5 ? 1 : 0);
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new InvalidDataException(INVALID_SALARY_FORMAT);
+        }
+        return negative ? -cents : cents;
+    }
+
+    private static int digitAt(String value, int index) {
+        char c = value.charAt(index);
+        if (c < '0' || c > '9') {
             throw new InvalidDataException(INVALID_SALARY_FORMAT);
         }
-        return doubleValue;
+        return c - '0';
     }
 
     public static Integer validateManagerId(String value) {
@@ -40,4 +86,17 @@ public class InputValidator {
         }
         return integerValue;
     }
+
+    public static int validateWorkerCount(String value) {
+        int integerValue;
+        try {
+            integerValue = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidDataException(INVALID_WORKER_COUNT);
+        }
+        if (integerValue < 1 || integerValue > MAX_WORKER_COUNT) {
+            throw new InvalidDataException(INVALID_WORKER_COUNT);
+        }
+        return integerValue;
+    }
 }
@@ -54,9 +54,9 @@ class EmployeeCsvParserTest {
         assertEquals("Doe", employeeList.get(0).lastName());
         assertEquals("Chekov", employeeList.get(1).lastName());
         assertEquals("Ronstad", employeeList.get(2).lastName());
-        assertEquals(80000, employeeList.get(0).salary());
-        assertEquals(45000, employeeList.get(1).salary());
-        assertEquals(47000, employeeList.get(2).salary());
+        assertEquals(8000000L, employeeList.get(0).salary());
+        assertEquals(4500000L, employeeList.get(1).salary());
+        assertEquals(4700000L, employeeList.get(2).salary());
         assertNull(employeeList.get(0).managerId());
         assertEquals(123, employeeList.get(1).managerId());
         assertEquals(123, employeeList.get(2).managerId());
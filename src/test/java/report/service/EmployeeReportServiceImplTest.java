@@ -117,6 +117,31 @@ class EmployeeReportServiceImplTest {
                         305,Brett,Hardleaf,69120,300
                         306,A,B,57600,305
                         307,C,D,48000,306""", ""),
+                // salary differences with cents, rounded half up at the cent
+                Arguments.of("""
+                                Id,firstName,lastName,salary,managerId
+                                123,Joe,Doe,100,
+                                124,Martin,Chekov,100.01,123
+                                125,Bob,Ronstad,60.1,124
+                                126,A,B,60.05,124""",
+                        """
+                                Employee with id=123 earns less than expected by 20.01
+                                Employee with id=124 earns more than expected by 9.9"""),
+                // salaries too large for the exact band comparison
+                Arguments.of("""
+                                Id,firstName,lastName,salary,managerId
+                                123,Joe,Doe,92233720368547758.07,
+                                124,Martin,Chekov,92233720368547758.07,123""",
+                        """
+                                The file cannot be read: Salary amounts are too large to compare"""),
+                // cyclic reporting line
+                Arguments.of("""
+                                Id,firstName,lastName,salary,managerId
+                                123,Joe,Doe,80000,
+                                124,Martin,Chekov,45000,125
+                                125,Bob,Ronstad,47000,124""",
+                        """
+                                The file cannot be read: Cyclic reporting line for employee with id=124"""),
                 // bad file format, id is invalid in line 2
                 Arguments.of("""
                                 Id,firstName,lastName,salary,managerId
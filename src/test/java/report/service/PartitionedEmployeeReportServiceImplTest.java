@@ -0,0 +1,140 @@
+package report.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import report.MainApplication;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartitionedEmployeeReportServiceImplTest {
+
+    private final PrintStream printStream = System.out;
+    private final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+
+    private final String FILE_NAME = "src/test/resources/partitionedEmployeeData.csv";
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(outputStreamCaptor));
+    }
+
+    @AfterEach
+    public void cleanUp() throws IOException {
+        System.setOut(printStream);
+        Files.delete(Paths.get(FILE_NAME));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateFileInputAndWorkers")
+    void testPartitionedReportMatchesSingleProcessReport(String fileContent, String workers) throws IOException {
+
+        // setup
+        createFileWithContent(fileContent);
+        MainApplication.main(FILE_NAME);
+        String expected = outputStreamCaptor.toString().trim();
+        outputStreamCaptor.reset();
+
+        // execute
+        MainApplication.main(FILE_NAME, workers);
+
+        // verify
+        assertEquals(expected, outputStreamCaptor.toString().trim());
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInvalidWorkers")
+    void testInvalidWorkersAreReported(String workers, String expected) throws IOException {
+
+        // setup
+        createFileWithContent("Id,firstName,lastName,salary,managerId");
+
+        // execute
+        MainApplication.main(FILE_NAME, workers);
+
+        // verify
+        assertEquals(expected, outputStreamCaptor.toString().trim());
+    }
+
+    private static Stream<Arguments> generateFileInputAndWorkers() {
+        String allConditions = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,80000,
+                124,Martin,Chekov,45000,123
+                125,Bob,Ronstad,47000,123
+                300,Alice,Hasacat,50000,124
+                305,Brett,Hardleaf,34000,300
+                306,A,B,40000,305
+                307,C,D,40000,306
+                308,E,F,40000,307
+                309,K,J,40000,308
+                310,K,J,40000,305""";
+        String bandEdges = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,87919.68,
+                124,Martin,Chekov,99532.8,123
+                125,Bob,Ronstad,47000,123
+                300,Alice,Hasacat,82944,124
+                305,Brett,Hardleaf,69120,300
+                306,A,B,57600,305
+                307,C,D,48000,306
+                308,E,F,40000,307""";
+        String invalidSalary = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,87919.68a,
+                124,Martin,Chekov,99532.8,123""";
+        String invalidIdInLastLines = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,80000,
+                124,Martin,Chekov,45000,123
+                125,Bob,Ronstad,47000,123
+                300,Alice,Hasacat,50000,124
+                305,Brett,Hardleaf,34000,300
+                306a,A,B,40000,305
+                307,C,D,40000,306
+                308b,E,F,40000,307""";
+        String cyclicReportingLine = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,80000,
+                124,Martin,Chekov,45000,125
+                125,Bob,Ronstad,47000,124""";
+        return Stream.of(
+                Arguments.of(allConditions, "1"),
+                Arguments.of(allConditions, "3"),
+                Arguments.of(allConditions.replace("\n", "\r\n"), "5"),
+                Arguments.of(allConditions.replace("\n", "\r"), "2"),
+                Arguments.of(allConditions.replace("\n", "\r"), "7"),
+                Arguments.of(invalidIdInLastLines.replace("\n", "\r"), "3"),
+                Arguments.of(bandEdges, "4"),
+                Arguments.of(invalidSalary, "2"),
+                Arguments.of(invalidIdInLastLines, "3"),
+                Arguments.of(cyclicReportingLine, "2"),
+                Arguments.of(allConditions, "40")
+        );
+    }
+
+    private static Stream<Arguments> generateInvalidWorkers() {
+        return Stream.of(
+                Arguments.of("abc", "The report cannot be generated: Invalid number of workers abc"),
+                Arguments.of("0", "The report cannot be generated: Invalid number of workers 0"),
+                Arguments.of("100000", "The report cannot be generated: Invalid number of workers 100000")
+        );
+    }
+
+    private void createFileWithContent(String content) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_NAME));
+        writer.write(content);
+        writer.close();
+    }
+}
@@ -1,6 +1,9 @@
 package report.validator;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import report.exception.InvalidDataException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -52,15 +55,42 @@ class InputValidatorTest {
 
         //setup
         String input = "10000.0";
-        double expected = 10000.0;
+        long expected = 1000000L;
 
         //execute
-        double response = InputValidator.validateSalary(input);
+        long response = InputValidator.validateSalary(input);
 
         // verify
         assertEquals(expected, response);
     }
 
+    @ParameterizedTest
+    @CsvSource({"10000,1000000", "87919.68,8791968", "99532.8,9953280", " 0.05 ,5", "92233720368547758.07,9223372036854775807",
+            "-100,-10000", "+100,10000", "100.,10000", ".5,50", "100.124,10012", "100.125,10013", "100.999,10100", "-0.005,-1"})
+    void testValidSalaryValueInCents(String input, long expected) {
+
+        //execute
+        long response = InputValidator.validateSalary(input);
+
+        // verify
+        assertEquals(expected, response);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+.", ".", "1e5", "--1", "1.2.3", "NaN", "99999999999999999999", "92233720368547758.08",
+            "92233720368547758.075"})
+    void testInvalidSalaryValueInCents(String input) {
+
+        //setup
+        String expected = "Invalid salary format";
+
+        //execute
+        Exception ex = assertThrows(InvalidDataException.class, () -> InputValidator.validateSalary(input));
+
+        //verify
+        assertEquals(expected, ex.getMessage());
+    }
+
     @Test
     void testInvalidManagerIdValue() {
 
@@ -87,4 +117,32 @@ class InputValidatorTest {
         // verify
         assertEquals(expected, response);
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"abc", "0", "-2", "", "65", "100000"})
+    void testInvalidWorkerCountValue(String input) {
+
+        //setup
+        String expected = "Invalid number of workers";
+
+        //execute
+        Exception ex = assertThrows(InvalidDataException.class, () -> InputValidator.validateWorkerCount(input));
+
+        //verify
+        assertEquals(expected, ex.getMessage());
+    }
+
+    @Test
+    void testValidWorkerCountValue() {
+
+        //setup
+        String input = " 4 ";
+        int expected = 4;
+
+        //execute
+        int response = InputValidator.validateWorkerCount(input);
+
+        // verify
+        assertEquals(expected, response);
+    }
 }